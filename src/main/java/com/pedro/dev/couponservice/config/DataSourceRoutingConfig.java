@@ -0,0 +1,102 @@
+package com.pedro.dev.couponservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração de roteamento entre banco principal (escrita) e réplica (leitura).
+ *
+ * <p>Ativada com {@code coupon.datasource.routing.enabled=true}. Cada pool é configurado
+ * pelos prefixos {@code coupon.datasource.primary.*} e {@code coupon.datasource.replica.*}
+ * (mesmas chaves de {@code spring.datasource.*}), e a janela de consistência após uma escrita
+ * do cliente por {@code coupon.datasource.routing.read-your-writes-window} (padrão: 5s).
+ * Com bancos embarcados, o esquema gerado pelo Hibernate no principal é replicado na réplica
+ * por {@link ReplicaSchemaInitializer}.
+ * Não pode ser combinada com o particionamento ({@code coupon.sharding.enabled}): com ambos ativos,
+ * a inicialização falha.
+ * Quando desativada, a aplicação usa o {@link DataSource} único autoconfigurado pelo Spring Boot.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "coupon.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("coupon.datasource.primary")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("coupon.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("coupon.datasource.primary.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("coupon.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${coupon.datasource.routing.read-your-writes-window:5s}") Duration window
+    ) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReadYourWritesTracker tracker,
+            @Value("${coupon.sharding.enabled:false}") boolean shardingEnabled
+    ) {
+        if (shardingEnabled) {
+            throw new IllegalStateException("O roteamento de réplica de leitura não pode ser combinado com o particionamento.");
+        }
+
+        RoutingDataSource routingDataSource = new RoutingDataSource(tracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceType.PRIMARY, primaryDataSource,
+                DataSourceType.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaSchemaInitializer replicaSchemaInitializer(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaSchemaInitializer(entityManagerFactory);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWritesTracker tracker) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(tracker));
+    }
+}
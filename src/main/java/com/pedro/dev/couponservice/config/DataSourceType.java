@@ -0,0 +1,14 @@
+package com.pedro.dev.couponservice.config;
+
+/**
+ * Destinos possíveis para o roteamento de conexões JDBC.
+ *
+ * <ul>
+ *   <li>{@link #PRIMARY} — banco principal, recebe todas as escritas</li>
+ *   <li>{@link #REPLICA} — réplica de leitura, recebe transações somente leitura</li>
+ * </ul>
+ */
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
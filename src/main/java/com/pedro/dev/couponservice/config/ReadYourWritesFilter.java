@@ -0,0 +1,63 @@
+package com.pedro.dev.couponservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Filtro HTTP que transporta a janela read-your-writes de cada cliente no cookie {@value #LAST_WRITE_COOKIE}.
+ *
+ * <p>O cookie recebido informa ao {@link ReadYourWritesTracker} o instante da última escrita do
+ * cliente; quando a requisição confirma uma nova escrita, o cookie é renovado na resposta, antes
+ * de ela ser enviada. Clientes que não mantêm cookies leem sempre da réplica.</p>
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "coupon-last-write";
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        tracker.bind(lastWrite(request), writtenAt -> response.addCookie(lastWriteCookie(request, writtenAt)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.clear();
+        }
+    }
+
+    private Instant lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+
+        for (Cookie cookie : request.getCookies()) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Cookie lastWriteCookie(HttpServletRequest request, Instant writtenAt) {
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(writtenAt.toEpochMilli()));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (tracker.getWindow().toMillis() + 999) / 1000));
+        return cookie;
+    }
+}
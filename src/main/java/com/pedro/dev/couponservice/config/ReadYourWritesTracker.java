@@ -0,0 +1,115 @@
+package com.pedro.dev.couponservice.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Controla a janela de consistência "read-your-writes" do cliente da requisição corrente.
+ *
+ * <p>Como a réplica pode estar atrasada em relação ao banco principal, um cliente que acabou
+ * de criar ou excluir um cupom deve continuar lendo do principal durante a janela configurada.</p>
+ *
+ * <p>O instante da última escrita não fica guardado no servidor: ele é devolvido ao próprio cliente
+ * e reenviado nas requisições seguintes (ver {@link ReadYourWritesFilter}). Assim a garantia vale
+ * para qualquer instância da aplicação, sem roteamento fixo, e clientes atrás do mesmo IP não
+ * compartilham a janela. Entre instâncias, os relógios devem estar sincronizados; uma diferença
+ * de até uma janela é tolerada.</p>
+ */
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<Client> currentClient = new ThreadLocal<>();
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Associa à thread corrente o cliente da requisição.
+     *
+     * @param lastWrite     instante da última escrita informado pelo cliente, ou {@code null}
+     * @param writeListener notificado com o instante de cada nova escrita, para devolvê-lo ao cliente
+     */
+    public void bind(Instant lastWrite, Consumer<Instant> writeListener) {
+        currentClient.set(new Client(lastWrite, writeListener));
+    }
+
+    /**
+     * Remove a associação de cliente da thread corrente.
+     */
+    public void clear() {
+        currentClient.remove();
+    }
+
+    /**
+     * Registra uma escrita do cliente da thread corrente assim que a transação ativa for confirmada.
+     *
+     * <p>Chamado pelo {@link RoutingDataSource} quando uma transação de escrita obtém sua conexão.
+     * O registro ocorre no commit, antes de a resposta ser enviada, de forma que a resposta já
+     * carregue o novo instante. Fora de uma transação, a escrita é registrada imediatamente.</p>
+     */
+    public void recordWriteAfterCommit() {
+        Client client = currentClient.get();
+        if (client == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            client.recordWrite(clock.instant());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                client.recordWrite(clock.instant());
+            }
+        });
+    }
+
+    /**
+     * Indica se o cliente da thread corrente escreveu dentro da janela de consistência.
+     *
+     * @return {@code true} se as leituras do cliente devem ser servidas pelo banco principal
+     */
+    public boolean isWithinWindow() {
+        Client client = currentClient.get();
+        if (client == null || client.lastWrite == null || window.isZero() || window.isNegative()) {
+            return false;
+        }
+
+        Instant now = clock.instant();
+        // Instantes no futuro são aceitos até uma janela, para tolerar diferenças de relógio entre instâncias.
+        return client.lastWrite.plus(window).isAfter(now) && client.lastWrite.isBefore(now.plus(window));
+    }
+
+    private static final class Client {
+
+        private final Consumer<Instant> writeListener;
+        private volatile Instant lastWrite;
+
+        private Client(Instant lastWrite, Consumer<Instant> writeListener) {
+            this.lastWrite = lastWrite;
+            this.writeListener = writeListener;
+        }
+
+        private void recordWrite(Instant writtenAt) {
+            lastWrite = writtenAt;
+            writeListener.accept(writtenAt);
+        }
+    }
+}
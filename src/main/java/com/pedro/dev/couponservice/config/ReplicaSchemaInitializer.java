@@ -0,0 +1,51 @@
+package com.pedro.dev.couponservice.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * Replica na réplica de leitura o esquema que o Hibernate gera no banco principal durante a inicialização.
+ *
+ * <p>Atua somente quando {@code spring.jpa.hibernate.ddl-auto} cria o esquema, como ocorre por padrão
+ * com bancos embarcados: {@code create}, {@code create-drop} e {@code drop-and-create} recriam as tabelas,
+ * enquanto {@code create-only} apenas cria as que ainda não existem. Nos demais modos, o esquema da
+ * réplica é mantido pela própria replicação do banco.</p>
+ */
+@RequiredArgsConstructor
+public class ReplicaSchemaInitializer implements InitializingBean {
+
+    private static final Set<String> RECREATE_MODES = Set.of("create", "create-drop", "drop-and-create");
+
+    private static final String CREATE_ONLY_MODE = "create-only";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterPropertiesSet() {
+        Object ddlAuto = entityManagerFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+        boolean recreate = ddlAuto != null && RECREATE_MODES.contains(ddlAuto.toString());
+        if (!recreate && !CREATE_ONLY_MODE.equals(String.valueOf(ddlAuto))) {
+            return;
+        }
+
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+
+        // O RoutingDataSource envia à réplica as conexões obtidas com a thread marcada como somente leitura.
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            if (recreate) {
+                schemaManager.dropMappedObjects(false);
+            }
+            schemaManager.exportMappedObjects(false);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
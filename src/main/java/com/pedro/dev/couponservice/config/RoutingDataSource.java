@@ -0,0 +1,34 @@
+package com.pedro.dev.couponservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link AbstractRoutingDataSource} que direciona transações somente leitura para a réplica.
+ *
+ * <p>Escritas, operações fora de transação e leituras de clientes dentro da janela
+ * "read-your-writes" são sempre enviadas ao banco principal. Deve ser envolvido por um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, para que a
+ * conexão só seja obtida depois que o flag de somente leitura da transação estiver definido.</p>
+ *
+ * <p>Toda transação de escrita que obtém uma conexão do principal abre, ao ser confirmada, a janela
+ * read-your-writes do cliente corrente. Assim os serviços de escrita não precisam registrá-la.</p>
+ */
+@RequiredArgsConstructor
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return tracker.isWithinWindow() ? DataSourceType.PRIMARY : DataSourceType.REPLICA;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            tracker.recordWriteAfterCommit();
+        }
+        return DataSourceType.PRIMARY;
+    }
+}
@@ -0,0 +1,113 @@
+package com.pedro.dev.couponservice.config;
+
+import com.pedro.dev.couponservice.sharding.ShardDataSources;
+import com.pedro.dev.couponservice.sharding.ShardRouter;
+import com.pedro.dev.couponservice.sharding.ShardRoutingDataSource;
+import com.pedro.dev.couponservice.sharding.ShardSchemaInitializer;
+import com.pedro.dev.couponservice.sharding.ShardingAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuração do particionamento horizontal dos cupons pelo hash do código.
+ *
+ * <p>Ativada com {@code coupon.sharding.enabled=true}, com um banco por item de
+ * {@code coupon.sharding.shards[n].*}. Não pode ser combinada com o roteamento de réplica
+ * ({@code coupon.datasource.routing.enabled}), que também define o {@link DataSource} principal:
+ * com ambos ativos, esta configuração é ignorada e {@link DataSourceRoutingConfig} interrompe a inicialização.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "coupon.sharding", name = "enabled", havingValue = "true")
+@ConditionalOnProperty(prefix = "coupon.datasource.routing", name = "enabled", havingValue = "false", matchIfMissing = true)
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(properties.getShards().size());
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) throws Exception {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (int shard = 0; shard < properties.getShards().size(); shard++) {
+            DataSourceProperties shardProperties = properties.getShards().get(shard);
+            shardProperties.afterPropertiesSet();
+
+            HikariDataSource dataSource = shardProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("coupon-shard-" + shard);
+            dataSources.add(dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            targets.put(shard, shardDataSources.get(shard));
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shardDataSources.get(0));
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor shardScatterGatherExecutor(ShardingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("coupon-shard-");
+        executor.setCorePoolSize(properties.getScatterGatherThreads());
+        executor.setMaxPoolSize(properties.getScatterGatherThreads());
+        executor.setQueueCapacity(properties.getScatterGatherThreads() * properties.getShards().size());
+        // Com a fila cheia, a consulta roda na própria thread da requisição, limitando a concorrência sem falhar.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ShardingAspect shardingAspect(
+            ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("shardScatterGatherExecutor") Executor executor,
+            ShardingProperties properties
+    ) {
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+
+        TransactionTemplate writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return new ShardingAspect(shardRouter, readTransaction, writeTransaction, executor, properties.getMaxOffset());
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardRouter shardRouter) {
+        return new ShardSchemaInitializer(entityManagerFactory, shardRouter);
+    }
+}
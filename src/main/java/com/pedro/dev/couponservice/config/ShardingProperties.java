@@ -0,0 +1,36 @@
+package com.pedro.dev.couponservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades do particionamento de cupons ({@code coupon.sharding.*}).
+ *
+ * <p>Cada item de {@code shards} aceita as mesmas chaves de {@code spring.datasource.*};
+ * a posição na lista é o número do shard.</p>
+ */
+@Getter
+@Setter
+@ConfigurationProperties("coupon.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Maior deslocamento ({@code page * size}) aceito na listagem distribuída, pois cada shard
+     * precisa devolver todos os registros até o fim da página solicitada.
+     */
+    private long maxOffset = 10_000;
+
+    /**
+     * Quantidade de threads que consultam os shards em paralelo na listagem distribuída.
+     */
+    private int scatterGatherThreads = 8;
+
+    private List<DataSourceProperties> shards = new ArrayList<>();
+}
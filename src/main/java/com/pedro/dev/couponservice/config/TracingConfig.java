@@ -0,0 +1,76 @@
+package com.pedro.dev.couponservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.dev.couponservice.tracing.SlowRequestLog;
+import com.pedro.dev.couponservice.tracing.SlowRequestsEndpoint;
+import com.pedro.dev.couponservice.tracing.TracingAspect;
+import com.pedro.dev.couponservice.tracing.TracingDataSource;
+import com.pedro.dev.couponservice.tracing.TracingFilter;
+import com.pedro.dev.couponservice.tracing.TracingJackson2HttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração do rastreamento de requisições por camada.
+ *
+ * <p>Desativada por padrão, pois envolve cada conexão e statement JDBC em proxies; ative com
+ * {@code coupon.tracing.enabled=true}. A quantidade de requisições mais lentas retidas em memória
+ * é definida por {@code coupon.tracing.slow-requests.capacity} (padrão: 20) e pode ser consultada
+ * pelo endpoint {@link SlowRequestsEndpoint} do Actuator. Os trechos também são emitidos como
+ * eventos JFR na categoria "Coupon Service", disponíveis em qualquer gravação iniciada com
+ * {@code -XX:StartFlightRecording} ou {@code jcmd <pid> JFR.start}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "coupon.tracing", name = "enabled", havingValue = "true")
+public class TracingConfig {
+
+    @Bean
+    public SlowRequestLog slowRequestLog(@Value("${coupon.tracing.slow-requests.capacity:20}") int capacity) {
+        return new SlowRequestLog(capacity);
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestsEndpoint(slowRequestLog);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(
+            SlowRequestLog slowRequestLog,
+            @Value("${management.endpoints.web.base-path:/actuator}") String managementBasePath
+    ) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(slowRequestLog, managementBasePath));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Bean
+    public TracingJackson2HttpMessageConverter tracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TracingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new TracingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
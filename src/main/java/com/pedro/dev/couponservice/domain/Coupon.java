@@ -1,5 +1,6 @@
 package com.pedro.dev.couponservice.domain;
 
+import com.pedro.dev.couponservice.sharding.ShardAwareId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import org.hibernate.annotations.SQLDelete;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class Coupon {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardAwareId
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 6)
@@ -45,12 +46,22 @@ public class Coupon {
     }
 
 
+    /**
+     * Remove os caracteres não alfanuméricos do código e o converte para maiúsculas.
+     *
+     * @param rawCode código informado pelo cliente
+     * @return código sanitizado, sem validação de tamanho
+     */
+    public static String sanitizeCode(String rawCode) {
+        return rawCode.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+    }
+
     private String validateAndSanitizeCode(String rawCode) {
         if (rawCode == null || rawCode.isBlank()) {
             throw new IllegalArgumentException("O código do cupom não pode ser vazio.");
         }
 
-        String cleanCode = rawCode.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        String cleanCode = sanitizeCode(rawCode);
 
         if (cleanCode.length() != 6) {
             throw new IllegalArgumentException("O código deve ter exatamente 6 caracteres alfanuméricos após a limpeza.");
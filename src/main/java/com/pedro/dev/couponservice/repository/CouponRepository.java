@@ -1,11 +1,13 @@
 package com.pedro.dev.couponservice.repository;
 
 import com.pedro.dev.couponservice.domain.Coupon;
+import com.pedro.dev.couponservice.sharding.ShardKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -29,6 +31,16 @@ public interface CouponRepository extends JpaRepository<Coupon, UUID> {
     @Query(value = "SELECT count(*) > 0 FROM coupon WHERE id = :id AND deleted = true", nativeQuery = true)
     boolean isAlreadyDeleted(UUID id);
 
+    /**
+     * Busca um cupom ativo pelo código.
+     *
+     * <p>Com o particionamento ativo, a consulta é enviada somente ao shard responsável pelo código.</p>
+     *
+     * @param code código sanitizado do cupom
+     * @return o cupom, se existir e não estiver excluído
+     */
+    Optional<Coupon> findByCode(@ShardKey String code);
+
     /**
      * Busca cupons cujo código ou descrição contenham o termo informado, ignorando maiúsculas/minúsculas.
      *
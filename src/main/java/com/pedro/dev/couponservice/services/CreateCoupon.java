@@ -3,6 +3,8 @@ package com.pedro.dev.couponservice.services;
 import com.pedro.dev.couponservice.domain.Coupon;
 import com.pedro.dev.couponservice.dto.CouponRequest;
 import com.pedro.dev.couponservice.repository.CouponRepository;
+import com.pedro.dev.couponservice.tracing.RequestTracer;
+import com.pedro.dev.couponservice.tracing.TraceLayer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,12 +31,15 @@ public class CreateCoupon {
      */
     @Transactional
     public Coupon execute(CouponRequest request) {
-        Coupon newCoupon = new Coupon(
-                request.code(),
-                request.description(),
-                request.discountValue(),
-                request.expirationDate()
-        );
+        Coupon newCoupon;
+        try (RequestTracer.Span ignored = RequestTracer.startSpan(TraceLayer.DOMAIN, "Coupon.<init>")) {
+            newCoupon = new Coupon(
+                    request.code(),
+                    request.description(),
+                    request.discountValue(),
+                    request.expirationDate()
+            );
+        }
 
         return repository.save(newCoupon);
     }
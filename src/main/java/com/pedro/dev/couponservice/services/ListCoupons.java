@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Serviço responsável pela listagem paginada de cupons de desconto.
@@ -13,6 +14,9 @@ import org.springframework.stereotype.Service;
  * <p>Suporta busca opcional por texto, filtrando pelo código ou pela descrição
  * do cupom de forma case-insensitive. Quando nenhum filtro é informado,
  * retorna todos os cupons ativos paginados.</p>
+ *
+ * <p>Executa em transação somente leitura, o que permite que a consulta seja
+ * direcionada à réplica quando o roteamento de {@code DataSource} estiver ativo.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class ListCoupons {
      * @param pageable configuração de paginação e ordenação
      * @return página contendo os cupons que atendem ao critério de busca
      */
+    @Transactional(readOnly = true)
     public Page<Coupon> execute(String search, Pageable pageable) {
         if (search != null && !search.isBlank()) {
             return repository.findByCodeContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
@@ -0,0 +1,19 @@
+package com.pedro.dev.couponservice.sharding;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gera o identificador UUID da entidade com o índice do shard codificado.
+ *
+ * @see ShardAwareIdGenerator
+ */
+@IdGeneratorType(ShardAwareIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardAwareId {
+}
@@ -0,0 +1,30 @@
+package com.pedro.dev.couponservice.sharding;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Gerador de UUID aleatório que grava o shard da thread corrente nos bits mais significativos.
+ *
+ * <p>Sem particionamento ativo (nenhum shard em {@link ShardContext}), gera um UUID
+ * aleatório comum, idêntico ao de {@code GenerationType.UUID}.</p>
+ */
+public class ShardAwareIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        UUID id = UUID.randomUUID();
+        Integer shard = ShardContext.current();
+        return shard == null ? id : ShardRouter.encode(id, shard);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
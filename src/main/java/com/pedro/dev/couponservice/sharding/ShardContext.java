@@ -0,0 +1,36 @@
+package com.pedro.dev.couponservice.sharding;
+
+/**
+ * Shard associado à thread corrente.
+ *
+ * <p>Definido pelo {@link ShardingAspect} antes de cada operação do repositório e lido pelo
+ * {@link ShardRoutingDataSource} no momento em que a conexão física é obtida. Sem shard
+ * associado, as conexões vão para o shard 0, que também recebe as tarefas de inicialização.</p>
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    /**
+     * Retorna o shard associado à thread corrente.
+     *
+     * @return índice do shard, ou {@code null} se nenhum estiver associado
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,15 @@
+package com.pedro.dev.couponservice.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o parâmetro de um método do repositório que contém o código do cupom,
+ * permitindo que a consulta seja enviada somente ao shard responsável.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ShardKey {
+}
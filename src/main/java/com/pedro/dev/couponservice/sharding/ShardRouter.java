@@ -0,0 +1,66 @@
+package com.pedro.dev.couponservice.sharding;
+
+import com.pedro.dev.couponservice.domain.Coupon;
+
+import java.util.UUID;
+
+/**
+ * Calcula o shard responsável por um cupom a partir do código ou do identificador.
+ *
+ * <p>O shard de um cupom é o hash do código sanitizado módulo a quantidade de shards.
+ * O índice do shard é gravado nos 16 bits mais significativos do identificador gerado
+ * (ver {@link ShardAwareIdGenerator}), de forma que buscas e exclusões por ID também
+ * são resolvidas sem consultar os demais shards.</p>
+ *
+ * <p>Alterar a quantidade de shards muda o destino dos códigos existentes e exige
+ * redistribuição dos dados.</p>
+ */
+public class ShardRouter {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int SHARD_BITS = 16;
+    private static final long SHARD_MASK = (1L << (Long.SIZE - SHARD_BITS)) - 1;
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount <= 0 || shardCount > (1 << SHARD_BITS)) {
+            throw new IllegalArgumentException("A quantidade de shards deve estar entre 1 e " + (1 << SHARD_BITS) + ".");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Retorna o shard responsável pelo código informado, após a mesma sanitização aplicada por {@link Coupon}.
+     *
+     * @param code código do cupom, sanitizado ou não
+     * @return índice do shard
+     */
+    public int shardForCode(String code) {
+        long mixed = Coupon.sanitizeCode(code).hashCode() * GOLDEN_RATIO;
+        return (int) Math.floorMod(mixed >>> 32, (long) shardCount);
+    }
+
+    /**
+     * Retorna o shard codificado no identificador informado.
+     *
+     * @param id identificador do cupom
+     * @return índice do shard
+     */
+    public int shardForId(UUID id) {
+        return Math.floorMod(decode(id), shardCount);
+    }
+
+    static UUID encode(UUID id, int shard) {
+        long mostSignificantBits = (id.getMostSignificantBits() & SHARD_MASK) | ((long) shard << (Long.SIZE - SHARD_BITS));
+        return new UUID(mostSignificantBits, id.getLeastSignificantBits());
+    }
+
+    static int decode(UUID id) {
+        return (int) (id.getMostSignificantBits() >>> (Long.SIZE - SHARD_BITS));
+    }
+}
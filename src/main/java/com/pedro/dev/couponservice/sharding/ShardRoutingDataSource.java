@@ -0,0 +1,18 @@
+package com.pedro.dev.couponservice.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * {@link AbstractRoutingDataSource} que direciona cada conexão ao shard de {@link ShardContext}.
+ *
+ * <p>Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * pois o shard só é conhecido na primeira operação do repositório, depois do início da transação.</p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard == null ? 0 : shard;
+    }
+}
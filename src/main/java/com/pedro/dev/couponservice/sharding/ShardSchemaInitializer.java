@@ -0,0 +1,51 @@
+package com.pedro.dev.couponservice.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.Set;
+
+/**
+ * Replica nos demais shards o esquema que o Hibernate gera no shard 0 durante a inicialização.
+ *
+ * <p>Atua somente quando {@code spring.jpa.hibernate.ddl-auto} cria o esquema, como ocorre por padrão
+ * com bancos embarcados: {@code create}, {@code create-drop} e {@code drop-and-create} recriam as tabelas
+ * de cada shard, enquanto {@code create-only} apenas cria as que ainda não existem, sem apagar dados.
+ * Nos demais modos, o esquema de cada shard deve ser gerenciado externamente.</p>
+ */
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Set<String> RECREATE_MODES = Set.of("create", "create-drop", "drop-and-create");
+
+    private static final String CREATE_ONLY_MODE = "create-only";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter router;
+
+    @Override
+    public void afterPropertiesSet() {
+        Object ddlAuto = entityManagerFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+        boolean recreate = ddlAuto != null && RECREATE_MODES.contains(ddlAuto.toString());
+        if (!recreate && !CREATE_ONLY_MODE.equals(String.valueOf(ddlAuto))) {
+            return;
+        }
+
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for (int shard = 1; shard < router.shardCount(); shard++) {
+            ShardContext.bind(shard);
+            try {
+                if (recreate) {
+                    schemaManager.dropMappedObjects(false);
+                }
+                schemaManager.exportMappedObjects(false);
+            } finally {
+                ShardContext.clear();
+            }
+        }
+    }
+}
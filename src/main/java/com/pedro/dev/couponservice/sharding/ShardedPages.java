@@ -0,0 +1,152 @@
+package com.pedro.dev.couponservice.sharding;
+
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Etapas de scatter-gather de uma consulta paginada distribuída entre shards.
+ *
+ * <p>Para montar a página {@code p} de tamanho {@code s}, cada shard devolve seus primeiros
+ * {@code (p + 1) * s} registros na mesma ordenação; os resultados são intercalados em memória
+ * e a janela da página é recortada do resultado. O total é a soma dos totais de cada shard.
+ * O custo cresce com a profundidade da página, por isso o deslocamento é limitado
+ * por {@code coupon.sharding.max-offset}.</p>
+ *
+ * <p>A intercalação em memória só reproduz a ordem do banco para propriedades cuja comparação
+ * não depende da collation: {@code code} (alfanumérico em maiúsculas), {@code expirationDate},
+ * {@code discountValue} e {@code id}. Ordenações por texto livre, como {@code description},
+ * são rejeitadas, pois a ordem de cada shard segue a collation do banco e não a do Java.</p>
+ */
+final class ShardedPages {
+
+    private static final String TIE_BREAKER = "id";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("code", "expirationDate", "discountValue", TIE_BREAKER);
+
+    private ShardedPages() {}
+
+    /**
+     * Página a ser solicitada a cada shard para compor a página global informada.
+     *
+     * @throws IllegalArgumentException se o deslocamento da página exceder {@code maxOffset}
+     *                                  ou se a ordenação não puder ser intercalada com segurança
+     */
+    static Pageable perShard(Pageable pageable, long maxOffset) {
+        validate(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        if (pageable.getOffset() > maxOffset) {
+            throw new IllegalArgumentException(
+                    "A página solicitada excede o deslocamento máximo de " + maxOffset + " registros da listagem."
+            );
+        }
+        long limit = Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        return PageRequest.of(0, (int) limit, withTieBreaker(pageable.getSort()));
+    }
+
+    /**
+     * Intercala as páginas de cada shard e recorta a página global.
+     */
+    static <T> Page<T> merge(List<Page<T>> shardPages, Pageable pageable) {
+        List<T> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<T> page : shardPages) {
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+
+        merged = sort(merged, pageable.isPaged() ? withTieBreaker(pageable.getSort()) : pageable.getSort());
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(List.copyOf(merged.subList(from, to)), pageable, total);
+    }
+
+    /**
+     * Rejeita ordenações cuja intercalação em memória poderia divergir da ordem do banco.
+     *
+     * @throws IllegalArgumentException se alguma propriedade não for segura para intercalação
+     */
+    static void validate(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException(
+                        "A listagem distribuída só pode ser ordenada por code, expirationDate, discountValue ou id."
+                );
+            }
+        }
+    }
+
+    /**
+     * Ordena os elementos pela ordenação informada, lendo as chaves de cada elemento uma única vez.
+     */
+    static <T> List<T> sort(List<T> elements, Sort sort) {
+        if (sort.isUnsorted()) {
+            return elements;
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        List<SortKey<T>> keyed = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            PropertyAccessor accessor = PropertyAccessorFactory.forDirectFieldAccess(element);
+            Object[] keys = new Object[orders.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = accessor.getPropertyValue(orders.get(i).getProperty());
+            }
+            keyed.add(new SortKey<>(element, keys));
+        }
+
+        // Cada shard já devolve sua parte ordenada: o TimSort identifica as sequências e as intercala em tempo quase linear.
+        keyed.sort(comparator(orders));
+        return keyed.stream().map(SortKey::element).toList();
+    }
+
+    private static Sort withTieBreaker(Sort sort) {
+        return sort.getOrderFor(TIE_BREAKER) == null ? sort.and(Sort.by(TIE_BREAKER)) : sort;
+    }
+
+    private static <T> Comparator<SortKey<T>> comparator(List<Sort.Order> orders) {
+        Comparator<SortKey<T>> comparator = (a, b) -> 0;
+        for (int i = 0; i < orders.size(); i++) {
+            int index = i;
+            Sort.Order order = orders.get(i);
+            Comparator<SortKey<T>> byKey = (a, b) -> compareValues(a.keys()[index], b.keys()[index], order.isIgnoreCase());
+            comparator = comparator.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b, boolean ignoreCase) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof UUID left && b instanceof UUID right) {
+            // Bancos comparam UUIDs byte a byte (sem sinal); UUID.compareTo compara com sinal.
+            int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+            return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+        }
+        if (ignoreCase && a instanceof String left && b instanceof String right) {
+            return left.compareToIgnoreCase(right);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private record SortKey<T>(T element, Object[] keys) {}
+}
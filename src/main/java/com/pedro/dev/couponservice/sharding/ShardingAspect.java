@@ -0,0 +1,316 @@
+package com.pedro.dev.couponservice.sharding;
+
+import com.pedro.dev.couponservice.domain.Coupon;
+import com.pedro.dev.couponservice.tracing.RequestTracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Aspecto que direciona cada chamada ao {@code CouponRepository} para o shard correto.
+ *
+ * <ul>
+ *   <li>Consultas paginadas são executadas em paralelo em todos os shards e intercaladas
+ *       (scatter-gather), cada shard em sua própria transação somente leitura, até o
+ *       deslocamento máximo configurado</li>
+ *   <li>Operações com {@link Coupon}, com identificador {@link UUID} ou com parâmetro
+ *       {@link ShardKey} são enviadas a um único shard</li>
+ *   <li>Operações em lote ({@code saveAll}, {@code findAllById}, {@code deleteAllById}...)
+ *       são agrupadas por shard; cada grupo segue a regra da operação individual</li>
+ *   <li>{@code findAll()}, {@code findAll(Sort)} e {@code count()} consultam todos os shards em
+ *       paralelo; {@code deleteAll()} e {@code deleteAllInBatch()} excluem em todos os shards,
+ *       cada um em sua própria transação</li>
+ *   <li>Consultas por {@code Example} não são suportadas com particionamento ativo</li>
+ * </ul>
+ *
+ * <p>Dentro de uma transação, a primeira operação fixa o shard até o término da transação;
+ * uma operação posterior que pertença a outro shard é rejeitada, pois não há transação distribuída.</p>
+ *
+ * <p>Executa antes dos demais aspectos do repositório, de forma que o rastreamento
+ * registra um trecho de repositório para cada shard consultado.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardingAspect {
+
+    private static final Object UNSUPPORTED = new Object();
+
+    private final ShardRouter router;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Executor executor;
+    private final long maxOffset;
+
+    @Around("this(com.pedro.dev.couponservice.repository.CouponRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (method.getDeclaringClass() == Object.class || method.getName().equals("flush")) {
+            return joinPoint.proceed();
+        }
+
+        Object[] args = joinPoint.getArgs();
+        int pageableIndex = indexOf(Pageable.class, method);
+        if (pageableIndex >= 0 && Page.class.isAssignableFrom(method.getReturnType())) {
+            return scatterGather(joinPoint, args, pageableIndex);
+        }
+
+        Integer shard = resolveShard(method, args);
+        if (shard != null) {
+            return routeTo(shard, joinPoint, args);
+        }
+
+        if (args.length == 0 || (args.length == 1 && args[0] instanceof Sort)) {
+            Object result = fanOut(joinPoint, method, args);
+            if (result != UNSUPPORTED) {
+                return result;
+            }
+        } else if (args.length == 1 && args[0] instanceof Iterable<?> elements) {
+            return routeByShard(joinPoint, elements, List.class.isAssignableFrom(method.getReturnType()));
+        }
+
+        throw new UnsupportedOperationException("Operação não suportada com particionamento ativo: " + method.getName());
+    }
+
+    private Object routeTo(int shard, ProceedingJoinPoint joinPoint, Object[] args) {
+        Integer pinned = ShardContext.current();
+        if (pinned != null) {
+            if (pinned != shard) {
+                throw new IllegalStateException("A transação já está vinculada ao shard " + pinned + " e não pode acessar o shard " + shard + ".");
+            }
+            return proceed(joinPoint, args);
+        }
+
+        ShardContext.bind(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ShardContext.clear();
+                }
+            });
+            return proceed(joinPoint, args);
+        }
+
+        try {
+            return proceed(joinPoint, args);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    /**
+     * Divide uma operação em lote em um grupo por shard, preservando a ordem de entrada
+     * no resultado quando cada shard devolve um elemento por elemento recebido.
+     */
+    private Object routeByShard(ProceedingJoinPoint joinPoint, Iterable<?> elements, boolean returnsList) {
+        Map<Integer, List<Object>> groups = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> positions = new LinkedHashMap<>();
+        int position = 0;
+        for (Object element : elements) {
+            Integer shard = resolveShard(element);
+            if (shard == null) {
+                throw new UnsupportedOperationException("Elemento não suportado em operação em lote com particionamento ativo: " + element);
+            }
+            groups.computeIfAbsent(shard, key -> new ArrayList<>()).add(element);
+            positions.computeIfAbsent(shard, key -> new ArrayList<>()).add(position++);
+        }
+
+        if (groups.isEmpty()) {
+            return proceed(joinPoint, new Object[]{List.of()});
+        }
+        if (groups.size() > 1 && inTransaction()) {
+            throw new IllegalStateException("Uma operação em lote dentro de uma transação não pode envolver mais de um shard.");
+        }
+
+        Object[] ordered = new Object[position];
+        List<Object> concatenated = new ArrayList<>();
+        boolean preservesOrder = true;
+        for (Map.Entry<Integer, List<Object>> group : groups.entrySet()) {
+            Object result = routeTo(group.getKey(), joinPoint, new Object[]{group.getValue()});
+            if (!returnsList) {
+                continue;
+            }
+
+            List<?> shardResult = (List<?>) result;
+            List<Integer> shardPositions = positions.get(group.getKey());
+            preservesOrder &= shardResult.size() == shardPositions.size();
+            for (int i = 0; i < shardResult.size(); i++) {
+                if (i < shardPositions.size()) {
+                    ordered[shardPositions.get(i)] = shardResult.get(i);
+                }
+                concatenated.add(shardResult.get(i));
+            }
+        }
+
+        if (!returnsList) {
+            return null;
+        }
+        return preservesOrder ? Arrays.asList(ordered) : concatenated;
+    }
+
+    /**
+     * Executa em todos os shards as operações sem chave de particionamento: listagem completa,
+     * contagem e exclusão total.
+     */
+    private Object fanOut(ProceedingJoinPoint joinPoint, Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+
+        if (returnType == long.class) {
+            return onEveryShard(() -> readTransaction.execute(status -> (Long) proceed(joinPoint, args)))
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+        }
+
+        if (List.class.isAssignableFrom(returnType)) {
+            Sort sort = args.length == 1 ? (Sort) args[0] : Sort.unsorted();
+            ShardedPages.validate(sort);
+
+            List<Object> merged = new ArrayList<>();
+            onEveryShard(() -> readTransaction.execute(status -> (List<?>) proceed(joinPoint, args))).forEach(merged::addAll);
+            return ShardedPages.sort(merged, sort);
+        }
+
+        if (returnType == void.class && method.getName().startsWith("delete")) {
+            if (inTransaction()) {
+                throw new IllegalStateException("Uma exclusão em todos os shards não pode ser executada dentro de uma transação.");
+            }
+            onEveryShard(() -> writeTransaction.execute(status -> proceed(joinPoint, args)));
+            return null;
+        }
+
+        return UNSUPPORTED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Page<Object> scatterGather(ProceedingJoinPoint joinPoint, Object[] args, int pageableIndex) {
+        Pageable pageable = (Pageable) args[pageableIndex];
+        Object[] shardArgs = args.clone();
+        shardArgs[pageableIndex] = ShardedPages.perShard(pageable, maxOffset);
+
+        List<Page<Object>> pages = onEveryShard(() -> readTransaction.execute(status -> (Page<Object>) proceed(joinPoint, shardArgs)));
+        return ShardedPages.merge(pages, pageable);
+    }
+
+    /**
+     * Executa a tarefa em todos os shards em paralelo, devolvendo os resultados na ordem dos shards.
+     */
+    private <T> List<T> onEveryShard(Supplier<T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(router.shardCount());
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            futures.add(CompletableFuture.supplyAsync(RequestTracer.propagate(onShard(shard, task)), executor));
+        }
+
+        try {
+            // Operações sem retorno produzem null, que listas imutáveis não aceitam.
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> Supplier<T> onShard(int shard, Supplier<T> task) {
+        return () -> {
+            // A tarefa pode rodar na própria thread da requisição quando o executor está saturado.
+            Integer previous = ShardContext.current();
+            ShardContext.bind(shard);
+            try {
+                return task.get();
+            } finally {
+                ShardContext.bind(previous);
+            }
+        };
+    }
+
+    private static boolean inTransaction() {
+        return ShardContext.current() != null || TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    private Integer resolveShard(Method method, Object[] args) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof String code && isShardKey(parameterAnnotations[i])) {
+                return router.shardForCode(code);
+            }
+            Integer shard = resolveShard(args[i]);
+            if (shard != null) {
+                return shard;
+            }
+        }
+        return null;
+    }
+
+    private Integer resolveShard(Object arg) {
+        if (arg instanceof Coupon coupon) {
+            return coupon.getId() != null ? router.shardForId(coupon.getId()) : router.shardForCode(coupon.getCode());
+        }
+        if (arg instanceof UUID id) {
+            return router.shardForId(id);
+        }
+        return null;
+    }
+
+    private static boolean isShardKey(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof ShardKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(Class<?> type, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (type.isAssignableFrom(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint, Object[] args) {
+        try {
+            return joinPoint.proceed(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
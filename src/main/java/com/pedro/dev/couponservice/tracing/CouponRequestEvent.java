@@ -0,0 +1,31 @@
+package com.pedro.dev.couponservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido ao término de cada requisição HTTP rastreada.
+ */
+@Name("com.pedro.dev.couponservice.Request")
+@Label("Coupon Request")
+@Description("Requisição HTTP atendida pela API de cupons")
+@Category({"Coupon Service", "Tracing"})
+@StackTrace(false)
+class CouponRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Count")
+    int sqlCount;
+}
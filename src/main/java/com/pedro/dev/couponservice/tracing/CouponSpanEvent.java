@@ -0,0 +1,28 @@
+package com.pedro.dev.couponservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido para cada trecho cronometrado de uma requisição.
+ */
+@Name("com.pedro.dev.couponservice.Span")
+@Label("Coupon Span")
+@Description("Trecho de uma requisição em uma camada da aplicação")
+@Category({"Coupon Service", "Tracing"})
+@StackTrace(false)
+class CouponSpanEvent extends Event {
+
+    @Label("Layer")
+    String layer;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Request")
+    String request;
+}
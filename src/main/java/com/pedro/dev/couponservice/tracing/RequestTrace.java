@@ -0,0 +1,96 @@
+package com.pedro.dev.couponservice.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coletor dos trechos de uma única requisição.
+ *
+ * <p>Cada instância pertence a uma thread e guarda a profundidade de aninhamento dessa thread.
+ * Quando a requisição distribui trabalho entre threads (por exemplo, no scatter-gather entre
+ * shards), cada tarefa recebe um {@link #fork()} que compartilha o mesmo destino de trechos,
+ * protegido por lock. O número de trechos é limitado para que requisições patológicas
+ * (por exemplo, consultas N+1) não consumam memória sem limite.</p>
+ */
+public class RequestTrace {
+
+    static final int MAX_SPANS = 200;
+
+    private final String method;
+    private final String path;
+    private final Instant startedAt;
+    private final long startNanos;
+    private final List<SpanRecord> spans;
+    private final AtomicInteger sqlCount;
+    private int depth;
+
+    RequestTrace(String method, String path) {
+        this(method, path, Instant.now(), System.nanoTime(), new ArrayList<>(), new AtomicInteger(), 0);
+    }
+
+    private RequestTrace(String method, String path, Instant startedAt, long startNanos,
+                         List<SpanRecord> spans, AtomicInteger sqlCount, int depth) {
+        this.method = method;
+        this.path = path;
+        this.startedAt = startedAt;
+        this.startNanos = startNanos;
+        this.spans = spans;
+        this.sqlCount = sqlCount;
+        this.depth = depth;
+    }
+
+    /**
+     * Cria um coletor para outra thread, que registra na mesma requisição a partir da profundidade atual.
+     */
+    RequestTrace fork() {
+        return new RequestTrace(method, path, startedAt, startNanos, spans, sqlCount, depth);
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    int enter() {
+        return depth++;
+    }
+
+    void exit(TraceLayer layer, String name, int spanDepth, long spanStartNanos, long spanEndNanos) {
+        depth = spanDepth;
+        if (layer == TraceLayer.JDBC) {
+            sqlCount.incrementAndGet();
+        }
+
+        SpanRecord span = new SpanRecord(
+                layer,
+                name,
+                spanDepth,
+                (spanStartNanos - startNanos) / 1_000,
+                (spanEndNanos - spanStartNanos) / 1_000
+        );
+        synchronized (spans) {
+            if (spans.size() < MAX_SPANS) {
+                spans.add(span);
+            }
+        }
+    }
+
+    int sqlCount() {
+        return sqlCount.get();
+    }
+
+    SlowRequest finish(int status) {
+        long durationMicros = (System.nanoTime() - startNanos) / 1_000;
+        List<SpanRecord> ordered;
+        synchronized (spans) {
+            ordered = new ArrayList<>(spans);
+        }
+        ordered.sort((a, b) -> Long.compare(a.offsetMicros(), b.offsetMicros()));
+        return new SlowRequest(method, path, status, startedAt, durationMicros, sqlCount(), List.copyOf(ordered));
+    }
+}
@@ -0,0 +1,111 @@
+package com.pedro.dev.couponservice.tracing;
+
+import java.util.function.Supplier;
+
+/**
+ * Ponto de entrada estático para abrir trechos na requisição da thread corrente.
+ *
+ * <p>Quando não há requisição rastreada na thread (tarefas de inicialização, testes
+ * que acessam o repositório diretamente), {@link #startSpan} retorna um trecho inerte,
+ * de forma que o código instrumentado não precisa verificar se o rastreamento está ativo.</p>
+ */
+public final class RequestTracer {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private static final Span NOOP = () -> {};
+
+    private RequestTracer() {}
+
+    static RequestTrace begin(String method, String path) {
+        RequestTrace trace = new RequestTrace(method, path);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Indica se há uma requisição rastreada na thread corrente.
+     *
+     * @return {@code true} se os trechos abertos nesta thread serão registrados
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Prepara uma tarefa para ser executada em outra thread sem perder o rastreamento da requisição corrente.
+     *
+     * <p>Na thread que executar a tarefa, os trechos abertos são registrados na requisição que a criou,
+     * aninhados a partir do trecho corrente. Sem requisição rastreada, a tarefa é devolvida inalterada.</p>
+     *
+     * @param task tarefa a ser executada em outra thread
+     * @return tarefa que associa o rastreamento à thread que a executar
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return task;
+        }
+
+        RequestTrace fork = trace.fork();
+        return () -> {
+            RequestTrace previous = CURRENT.get();
+            CURRENT.set(fork);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Abre um trecho na requisição da thread corrente.
+     *
+     * @param layer camada em que o trecho é executado
+     * @param name  operação executada
+     * @return trecho a ser fechado ao final da operação, preferencialmente com try-with-resources
+     */
+    public static Span startSpan(TraceLayer layer, String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return NOOP;
+        }
+
+        CouponSpanEvent event = new CouponSpanEvent();
+        event.begin();
+        int depth = trace.enter();
+        long startNanos = System.nanoTime();
+
+        return () -> {
+            long endNanos = System.nanoTime();
+            trace.exit(layer, name, depth, startNanos, endNanos);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.layer = layer.name();
+                event.operation = name;
+                event.request = trace.method() + " " + trace.path();
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Trecho aberto por {@link #startSpan}.
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
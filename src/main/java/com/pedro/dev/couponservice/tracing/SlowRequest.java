@@ -0,0 +1,25 @@
+package com.pedro.dev.couponservice.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Requisição concluída, com o detalhamento de tempo de cada camada.
+ *
+ * @param method         método HTTP
+ * @param path           caminho e query string da requisição
+ * @param status         status HTTP da resposta
+ * @param startedAt      instante de início da requisição
+ * @param durationMicros duração total em microssegundos
+ * @param sqlCount       quantidade de instruções SQL executadas
+ * @param spans          trechos cronometrados, em ordem de início
+ */
+public record SlowRequest(
+        String method,
+        String path,
+        int status,
+        Instant startedAt,
+        long durationMicros,
+        int sqlCount,
+        List<SpanRecord> spans
+) {}
@@ -0,0 +1,77 @@
+package com.pedro.dev.couponservice.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Buffer em memória com as N requisições mais lentas observadas desde a inicialização.
+ *
+ * <p>Mantém um heap mínimo pela duração: uma nova requisição só entra se for mais lenta
+ * que a mais rápida retida, que então é descartada. Requisições rápidas são rejeitadas
+ * por uma leitura volátil, sem disputar o lock.</p>
+ */
+public class SlowRequestLog {
+
+    private static final Comparator<SlowRequest> BY_DURATION = Comparator.comparingLong(SlowRequest::durationMicros);
+
+    private final int capacity;
+    private final PriorityQueue<SlowRequest> slowest;
+    private volatile long admissionThresholdMicros = -1;
+
+    public SlowRequestLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A capacidade do registro de requisições lentas deve ser positiva.");
+        }
+        this.capacity = capacity;
+        this.slowest = new PriorityQueue<>(capacity, BY_DURATION);
+    }
+
+    /**
+     * Oferece uma requisição concluída ao buffer.
+     *
+     * @param request requisição concluída
+     */
+    public void record(SlowRequest request) {
+        if (request.durationMicros() <= admissionThresholdMicros) {
+            return;
+        }
+
+        synchronized (slowest) {
+            if (slowest.size() < capacity) {
+                slowest.add(request);
+            } else if (request.durationMicros() > slowest.peek().durationMicros()) {
+                slowest.poll();
+                slowest.add(request);
+            }
+            if (slowest.size() == capacity) {
+                admissionThresholdMicros = slowest.peek().durationMicros();
+            }
+        }
+    }
+
+    /**
+     * Retorna as requisições retidas, da mais lenta para a mais rápida.
+     *
+     * @return cópia imutável do conteúdo do buffer
+     */
+    public List<SlowRequest> snapshot() {
+        List<SlowRequest> copy;
+        synchronized (slowest) {
+            copy = new ArrayList<>(slowest);
+        }
+        copy.sort(BY_DURATION.reversed());
+        return List.copyOf(copy);
+    }
+
+    /**
+     * Descarta todas as requisições retidas.
+     */
+    public void clear() {
+        synchronized (slowest) {
+            slowest.clear();
+            admissionThresholdMicros = -1;
+        }
+    }
+}
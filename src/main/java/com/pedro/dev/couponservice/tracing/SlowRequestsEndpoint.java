@@ -0,0 +1,33 @@
+package com.pedro.dev.couponservice.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Endpoint do Actuator ({@code /actuator/slowrequests}) com as requisições mais lentas retidas
+ * pelo {@link SlowRequestLog}, incluindo o SQL executado e o tempo de cada camada.
+ *
+ * <p>Como expõe SQL e parâmetros de busca de outros usuários, segue as regras de exposição do
+ * Actuator: precisa ser incluído em {@code management.endpoints.web.exposure.include} e pode ser
+ * isolado da API pública com {@code management.server.port}.</p>
+ */
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestLog.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+}
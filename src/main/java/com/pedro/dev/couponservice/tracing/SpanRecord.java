@@ -0,0 +1,18 @@
+package com.pedro.dev.couponservice.tracing;
+
+/**
+ * Trecho cronometrado de uma requisição.
+ *
+ * @param layer          camada em que o trecho foi executado
+ * @param name           operação executada (método ou instrução SQL)
+ * @param depth          profundidade de aninhamento em relação aos demais trechos
+ * @param offsetMicros   início do trecho, em microssegundos, relativo ao início da requisição
+ * @param durationMicros duração do trecho em microssegundos
+ */
+public record SpanRecord(
+        TraceLayer layer,
+        String name,
+        int depth,
+        long offsetMicros,
+        long durationMicros
+) {}
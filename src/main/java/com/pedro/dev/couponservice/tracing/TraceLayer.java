@@ -0,0 +1,16 @@
+package com.pedro.dev.couponservice.tracing;
+
+/**
+ * Camadas da aplicação instrumentadas pelo rastreamento de requisições.
+ *
+ * <p>Seguem o caminho de uma requisição: {@code CouponController} → serviço →
+ * entidade de domínio → {@code CouponRepository} → JDBC, além da serialização JSON da resposta.</p>
+ */
+public enum TraceLayer {
+    CONTROLLER,
+    SERVICE,
+    DOMAIN,
+    REPOSITORY,
+    JDBC,
+    SERIALIZATION
+}
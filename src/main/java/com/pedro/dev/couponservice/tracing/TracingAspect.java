@@ -0,0 +1,44 @@
+package com.pedro.dev.couponservice.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspecto que cronometra as chamadas aos controllers, serviços e repositórios da aplicação.
+ *
+ * <p>Executa depois do particionamento, que o envolve: cada shard consultado
+ * produz seu próprio trecho de repositório.</p>
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class TracingAspect {
+
+    @Around("within(com.pedro.dev.couponservice.controller..*)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(TraceLayer.CONTROLLER, joinPoint);
+    }
+
+    @Around("within(com.pedro.dev.couponservice.services..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(TraceLayer.SERVICE, joinPoint);
+    }
+
+    @Around("this(com.pedro.dev.couponservice.repository.CouponRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(TraceLayer.REPOSITORY, joinPoint);
+    }
+
+    private Object trace(TraceLayer layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!RequestTracer.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (RequestTracer.Span ignored = RequestTracer.startSpan(layer, name)) {
+            return joinPoint.proceed();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.pedro.dev.couponservice.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} que cronometra a execução de cada instrução SQL e a registra
+ * como trecho {@link TraceLayer#JDBC} da requisição corrente.
+ *
+ * <p>Conexões e statements são envolvidos por proxies dinâmicos; fora de uma requisição
+ * rastreada, as execuções são repassadas sem registro.</p>
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    static final int MAX_SQL_LENGTH = 1_000;
+
+    public TracingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TracingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(target, method, args);
+
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(statement, Statement.class, null);
+            }
+            return result;
+        }
+
+        private static Object wrapStatement(Statement statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(
+                    TracingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql)
+            );
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute") || !RequestTracer.isActive()) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+
+            try (RequestTracer.Span ignored = RequestTracer.startSpan(TraceLayer.JDBC, describe(method, args))) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private String describe(Method method, Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                return abbreviate(sql);
+            }
+            if (preparedSql != null) {
+                return abbreviate(preparedSql);
+            }
+            return method.getName();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.pedro.dev.couponservice.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro HTTP que abre o rastreamento de cada requisição e, ao final, entrega o
+ * resultado ao {@link SlowRequestLog} e emite o evento JFR da requisição.
+ *
+ * <p>Requisições aos endpoints do Actuator não são rastreadas, para que a
+ * consulta ao próprio buffer não o polua.</p>
+ */
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final SlowRequestLog slowRequestLog;
+    private final String managementBasePath;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + managementBasePath + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        CouponRequestEvent event = new CouponRequestEvent();
+        event.begin();
+        RequestTrace trace = RequestTracer.begin(request.getMethod(), path);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTracer.end();
+            slowRequestLog.record(trace.finish(response.getStatus()));
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.path = path;
+                event.status = response.getStatus();
+                event.sqlCount = trace.sqlCount();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.pedro.dev.couponservice.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON que registra a serialização do corpo da resposta como trecho
+ * {@link TraceLayer#SERIALIZATION} da requisição corrente.
+ */
+public class TracingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (RequestTracer.Span ignored = RequestTracer.startSpan(TraceLayer.SERIALIZATION, object.getClass().getSimpleName())) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
@@ -280,6 +280,13 @@ class CouponIntegrationTest {
                 .andExpect(jsonPath("$.content.length()").value(0));
     }
 
+    @Test
+    @DisplayName("Não deve expor o diagnóstico de requisições lentas quando o rastreamento não foi ativado")
+    void shouldNotExposeSlowRequestsByDefault() throws Exception {
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isNotFound());
+    }
+
     private Coupon createAndSaveCoupon(String code, String description, BigDecimal discountValue, LocalDate expirationDate) {
         Coupon coupon = new Coupon(code, description, discountValue, expirationDate);
         return repository.save(coupon);
@@ -0,0 +1,180 @@
+package com.pedro.dev.couponservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.dev.couponservice.config.ReadYourWritesFilter;
+import com.pedro.dev.couponservice.config.ReadYourWritesTracker;
+import com.pedro.dev.couponservice.dto.CouponRequest;
+import com.pedro.dev.couponservice.services.CreateCoupon;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Valida o roteamento leitura/escrita usando dois H2 embarcados independentes.
+ *
+ * <p>Como não há replicação entre os dois bancos, o conteúdo retornado pela listagem
+ * revela qual deles atendeu a consulta.</p>
+ */
+@SpringBootTest(properties = {
+        "coupon.datasource.routing.enabled=true",
+        "coupon.datasource.routing.read-your-writes-window=1m",
+        "coupon.datasource.primary.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "coupon.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CreateCoupon createCoupon;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.execute("DELETE FROM coupon");
+        replica.execute("DELETE FROM coupon");
+    }
+
+    @Test
+    @DisplayName("Deve servir a listagem pela réplica quando o cliente não escreveu recentemente")
+    void shouldReadFromReplica() throws Exception {
+        replica.update(
+                "INSERT INTO coupon (id, code, description, discount_value, expiration_date, deleted) VALUES (?, ?, ?, ?, ?, false)",
+                UUID.randomUUID(), "REPLI1", "Somente na réplica", new BigDecimal("10.0"), LocalDate.now().plusDays(5)
+        );
+
+        mockMvc.perform(get("/coupons"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].code").value("REPLI1"));
+    }
+
+    @Test
+    @DisplayName("Deve enviar a criação ao banco principal")
+    void shouldWriteToPrimary() throws Exception {
+        createCoupon("PRIMA1");
+
+        Integer primaryCount = primary.queryForObject("SELECT count(*) FROM coupon WHERE code = 'PRIMA1'", Integer.class);
+        Integer replicaCount = replica.queryForObject("SELECT count(*) FROM coupon WHERE code = 'PRIMA1'", Integer.class);
+
+        assertThat(primaryCount).isEqualTo(1);
+        assertThat(replicaCount).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ler do banco principal dentro da janela read-your-writes informada pelo cookie do cliente")
+    void shouldReadOwnWritesFromPrimary() throws Exception {
+        Cookie lastWrite = createCoupon("OWNWR1");
+
+        mockMvc.perform(get("/coupons").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].code").value("OWNWR1"));
+
+        mockMvc.perform(get("/coupons"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve voltar a ler da réplica quando a última escrita do cliente sai da janela")
+    void shouldReadFromReplicaAfterWindow() throws Exception {
+        createCoupon("EXPIR1");
+        Cookie expired = new Cookie(
+                ReadYourWritesFilter.LAST_WRITE_COOKIE,
+                String.valueOf(Instant.now().minus(Duration.ofMinutes(2)).toEpochMilli())
+        );
+
+        mockMvc.perform(get("/coupons").cookie(expired))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve abrir a janela read-your-writes no commit, antes de a resposta ser enviada")
+    void shouldRecordWriteOnCommit() {
+        AtomicReference<Instant> notified = new AtomicReference<>();
+        tracker.bind(null, notified::set);
+        try {
+            assertThat(tracker.isWithinWindow()).isFalse();
+
+            createCoupon.execute(new CouponRequest("COMMIT", "Commit", new BigDecimal("10.0"), LocalDate.now().plusDays(1)));
+
+            assertThat(tracker.isWithinWindow()).isTrue();
+            assertThat(notified.get()).isNotNull();
+        } finally {
+            tracker.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve abrir a janela read-your-writes quando a escrita falha")
+    void shouldNotRecordFailedWrite() throws Exception {
+        CouponRequest request = new CouponRequest("ABC", "Código curto", new BigDecimal("10.0"), LocalDate.now().plusDays(1));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(cookie().doesNotExist(ReadYourWritesFilter.LAST_WRITE_COOKIE));
+    }
+
+    private Cookie createCoupon(String code) throws Exception {
+        CouponRequest request = new CouponRequest(code, "Cupom " + code, new BigDecimal("10.0"), LocalDate.now().plusDays(1));
+
+        return mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.LAST_WRITE_COOKIE))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+    }
+}
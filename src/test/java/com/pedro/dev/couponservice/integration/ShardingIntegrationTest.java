@@ -0,0 +1,285 @@
+package com.pedro.dev.couponservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.dev.couponservice.CouponServiceApplication;
+import com.pedro.dev.couponservice.domain.Coupon;
+import com.pedro.dev.couponservice.dto.CouponRequest;
+import com.pedro.dev.couponservice.repository.CouponRepository;
+import com.pedro.dev.couponservice.sharding.ShardDataSources;
+import com.pedro.dev.couponservice.sharding.ShardRouter;
+import com.pedro.dev.couponservice.sharding.ShardSchemaInitializer;
+import com.pedro.dev.couponservice.tracing.SlowRequest;
+import com.pedro.dev.couponservice.tracing.SlowRequestLog;
+import com.pedro.dev.couponservice.tracing.SpanRecord;
+import com.pedro.dev.couponservice.tracing.TraceLayer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Valida o particionamento por hash do código usando três H2 embarcados independentes.
+ */
+@SpringBootTest(properties = {
+        "coupon.sharding.enabled=true",
+        "coupon.tracing.enabled=true",
+        "coupon.sharding.max-offset=100",
+        "coupon.sharding.shards[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "coupon.sharding.shards[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "coupon.sharding.shards[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+    private static final List<String> CODES = List.of("SHRD01", "SHRD02", "SHRD03", "SHRD04", "SHRD05", "SHRD06", "SHRD07");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        // O repositório ignora cupons excluídos logicamente; a limpeza física precisa ir direto a cada shard.
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            shard(shard).execute("DELETE FROM coupon");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada cupom somente no shard do seu código, com o shard codificado no ID")
+    void shouldStoreEachCouponInItsShard() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (String code : CODES) {
+            ids.add(createCoupon(code, 1));
+        }
+
+        for (int i = 0; i < CODES.size(); i++) {
+            int expectedShard = router.shardForCode(CODES.get(i));
+            assertThat(router.shardForId(ids.get(i))).isEqualTo(expectedShard);
+
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                Integer count = shard(shard).queryForObject("SELECT count(*) FROM coupon WHERE code = ?", Integer.class, CODES.get(i));
+                assertThat(count).isEqualTo(shard == expectedShard ? 1 : 0);
+            }
+        }
+        assertThat(CODES.stream().map(router::shardForCode).distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Deve buscar por código e excluir por ID no shard responsável")
+    void shouldLookupAndDeleteInSingleShard() throws Exception {
+        UUID id = createCoupon("shrd-01", 1);
+
+        assertThat(repository.findByCode("SHRD01")).map(Coupon::getId).contains(id);
+
+        mockMvc.perform(delete("/coupons/" + id))
+                .andExpect(status().isNoContent());
+
+        Boolean deleted = shard(router.shardForId(id)).queryForObject("SELECT deleted FROM coupon WHERE id = ?", Boolean.class, id);
+        assertThat(deleted).isTrue();
+
+        mockMvc.perform(delete("/coupons/" + id))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/coupons/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve paginar a listagem intercalando os resultados de todos os shards")
+    void shouldScatterGatherPaginatedList() throws Exception {
+        for (int i = 0; i < CODES.size(); i++) {
+            createCoupon(CODES.get(i), CODES.size() - i);
+        }
+
+        mockMvc.perform(get("/coupons?size=3&page=1&sort=expirationDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(CODES.size()))
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].code").value("SHRD04"))
+                .andExpect(jsonPath("$.content[1].code").value("SHRD03"))
+                .andExpect(jsonPath("$.content[2].code").value("SHRD02"));
+
+        mockMvc.perform(get("/coupons?search=shrd0&size=2&sort=code,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(CODES.size()))
+                .andExpect(jsonPath("$.content[0].code").value("SHRD07"))
+                .andExpect(jsonPath("$.content[1].code").value("SHRD06"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar páginas além do deslocamento máximo da listagem distribuída")
+    void shouldRejectPageBeyondMaxOffset() throws Exception {
+        mockMvc.perform(get("/coupons?page=10&size=10"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/coupons?page=11&size=10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("A página solicitada excede o deslocamento máximo de 100 registros da listagem."));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação dependente de collation na listagem distribuída")
+    void shouldRejectCollationDependentSort() throws Exception {
+        mockMvc.perform(get("/coupons?sort=description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("A listagem distribuída só pode ser ordenada por code, expirationDate, discountValue ou id."));
+    }
+
+    @Test
+    @DisplayName("Deve registrar um trecho de repositório por shard na listagem distribuída em paralelo")
+    void shouldTraceRepositoryCallPerShard() throws Exception {
+        slowRequestLog.clear();
+
+        mockMvc.perform(get("/coupons"))
+                .andExpect(status().isOk());
+
+        SlowRequest trace = slowRequestLog.snapshot().get(0);
+        List<SpanRecord> repositorySpans = trace.spans().stream()
+                .filter(span -> span.layer() == TraceLayer.REPOSITORY)
+                .toList();
+        int repositoryDepth = repositorySpans.get(0).depth();
+
+        assertThat(repositorySpans).hasSize(shardDataSources.size());
+        assertThat(repositorySpans).allMatch(span -> span.depth() == repositoryDepth);
+        assertThat(trace.spans())
+                .filteredOn(span -> span.layer() == TraceLayer.JDBC)
+                .hasSizeGreaterThanOrEqualTo(shardDataSources.size())
+                .allMatch(span -> span.depth() > repositoryDepth);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por shard as operações em lote e consultar todos os shards nas operações sem chave")
+    void shouldSupportStandardRepositoryMethods() {
+        List<Coupon> coupons = CODES.stream()
+                .map(code -> new Coupon(code, "Cupom " + code, new BigDecimal("10.0"), LocalDate.now().plusDays(1)))
+                .toList();
+
+        List<Coupon> saved = repository.saveAll(coupons);
+
+        assertThat(saved).extracting(Coupon::getCode).containsExactlyElementsOf(CODES);
+        assertThat(saved).allMatch(coupon -> router.shardForId(coupon.getId()) == router.shardForCode(coupon.getCode()));
+        assertThat(repository.count()).isEqualTo(CODES.size());
+        assertThat(repository.findAll(Sort.by(Sort.Direction.DESC, "code")))
+                .extracting(Coupon::getCode)
+                .containsExactlyElementsOf(CODES.reversed());
+
+        List<UUID> ids = List.of(saved.get(4).getId(), saved.get(0).getId(), UUID.randomUUID());
+        assertThat(repository.findAllById(ids))
+                .extracting(Coupon::getCode)
+                .containsExactlyInAnyOrder(CODES.get(4), CODES.get(0));
+
+        repository.deleteAllByIdInBatch(ids.subList(0, 2));
+        assertThat(repository.findAll()).hasSize(CODES.size() - 2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consultas por exemplo com particionamento ativo")
+    void shouldRejectQueryByExample() {
+        assertThatThrownBy(() -> repository.findAll(Example.of(new Coupon("SHRD01", "Cupom", new BigDecimal("10.0"), LocalDate.now().plusDays(1)))))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Deve preservar os dados dos shards ao inicializar o esquema em modo create-only")
+    void shouldKeepShardDataOnCreateOnly() throws Exception {
+        for (String code : CODES) {
+            createCoupon(code, 1);
+        }
+
+        EntityManagerFactory createOnly = (EntityManagerFactory) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> method.getName().equals("getProperties")
+                        ? Map.of(AvailableSettings.HBM2DDL_AUTO, "create-only")
+                        : method.invoke(entityManagerFactory, args)
+        );
+        new ShardSchemaInitializer(createOnly, router).afterPropertiesSet();
+
+        int total = 0;
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            total += shard(shard).queryForObject("SELECT count(*) FROM coupon", Integer.class);
+        }
+        assertThat(total).isEqualTo(CODES.size());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a inicialização quando o particionamento é combinado com a réplica de leitura")
+    void shouldRejectShardingWithReplicaRouting() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(CouponServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "coupon.sharding.enabled=true",
+                        "coupon.sharding.shards[0].url=jdbc:h2:mem:combined-shard-0",
+                        "coupon.datasource.routing.enabled=true",
+                        "coupon.datasource.primary.url=jdbc:h2:mem:combined-primary",
+                        "coupon.datasource.replica.url=jdbc:h2:mem:combined-replica"
+                );
+
+        assertThatThrownBy(application::run)
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("O roteamento de réplica de leitura não pode ser combinado com o particionamento.");
+    }
+
+    private UUID createCoupon(String code, int daysToExpire) throws Exception {
+        CouponRequest request = new CouponRequest(code, "Cupom " + code, new BigDecimal("10.0"), LocalDate.now().plusDays(daysToExpire));
+
+        String body = mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(body);
+        return UUID.fromString(json.get("id").asText());
+    }
+
+    private JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+}
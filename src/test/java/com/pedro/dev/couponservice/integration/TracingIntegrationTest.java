@@ -0,0 +1,157 @@
+package com.pedro.dev.couponservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedro.dev.couponservice.dto.CouponRequest;
+import com.pedro.dev.couponservice.repository.CouponRepository;
+import com.pedro.dev.couponservice.tracing.SlowRequestLog;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "coupon.tracing.enabled=true",
+        "coupon.tracing.slow-requests.capacity=2",
+        "management.endpoints.web.exposure.include=slowrequests"
+})
+@AutoConfigureMockMvc
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @BeforeEach
+    void setUp() {
+        slowRequestLog.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve registrar os trechos de cada camada da criação de cupom, do controller ao JDBC")
+    void shouldTraceEveryLayerOfCreate() throws Exception {
+        createCoupon("TRACE1");
+
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].method").value("POST"))
+                .andExpect(jsonPath("$[0].path").value("/coupons"))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].sqlCount").value(1))
+                .andExpect(jsonPath("$[0].spans[*].layer").value(hasItems(
+                        "CONTROLLER", "SERVICE", "DOMAIN", "REPOSITORY", "JDBC", "SERIALIZATION"
+                )))
+                .andExpect(jsonPath("$[0].spans[?(@.layer == 'JDBC')].name").value(hasItem(startsWith("insert into coupon"))));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a consulta de busca e a consulta de contagem da listagem")
+    void shouldTraceSearchAndCountQueries() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            createCoupon("SRCH0" + i);
+        }
+        slowRequestLog.clear();
+
+        mockMvc.perform(get("/coupons?search=srch&size=2"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].path").value("/coupons?search=srch&size=2"))
+                .andExpect(jsonPath("$[0].sqlCount").value(2))
+                .andExpect(jsonPath("$[0].spans[?(@.layer == 'REPOSITORY')].name").value(hasItem(
+                        "CouponRepository.findByCodeContainingIgnoreCaseOrDescriptionContainingIgnoreCase"
+                )))
+                .andExpect(jsonPath("$[0].spans[?(@.layer == 'JDBC')].name").value(hasItem(startsWith("select count("))));
+    }
+
+    @Test
+    @DisplayName("Deve reter somente as N requisições mais lentas e ignorar os endpoints do Actuator")
+    void shouldKeepOnlySlowestRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/coupons")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        List<Long> durations = slowRequestLog.snapshot().stream().map(r -> r.durationMicros()).toList();
+        assertThat(durations).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+
+        mockMvc.perform(delete("/actuator/slowrequests"))
+                .andExpect(status().isNoContent());
+        assertThat(slowRequestLog.snapshot()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve emitir eventos JFR de requisição e de trecho")
+    void shouldEmitJfrEvents(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("tracing.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.pedro.dev.couponservice.Request");
+            recording.enable("com.pedro.dev.couponservice.Span");
+            recording.start();
+
+            mockMvc.perform(get("/coupons")).andExpect(status().isOk());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+                .extracting(event -> event.getEventType().getName())
+                .contains("com.pedro.dev.couponservice.Request", "com.pedro.dev.couponservice.Span");
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.pedro.dev.couponservice.Span"))
+                .extracting(event -> event.getString("layer"))
+                .contains("CONTROLLER", "SERVICE", "REPOSITORY", "JDBC");
+    }
+
+    private void createCoupon(String code) throws Exception {
+        CouponRequest request = new CouponRequest(code, "Cupom " + code, new BigDecimal("10.0"), LocalDate.now().plusDays(1));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}